@@ -0,0 +1,98 @@
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Generates the source of RomanNumeralTableData, which holds the lookup tables of all standard form Roman numerals
+ * from 0 to 3999 as string constants. It is run by the Maven build in the generate-sources phase through the source
+ * file mode of the java launcher, so it must not depend on the library's own classes.
+ */
+public final class RomanNumeralTableDataGenerator
+{
+    private static final int COUNT = 4000;
+
+    private static final String[][] DIGITS =
+    {
+        { "", "I", "II", "III", "IV", "V", "VI", "VII", "VIII", "IX" },
+        { "", "X", "XX", "XXX", "XL", "L", "LX", "LXX", "LXXX", "XC" },
+        { "", "C", "CC", "CCC", "CD", "D", "DC", "DCC", "DCCC", "CM" },
+        { "", "M", "MM", "MMM" }
+    };
+
+    public static void main(final String[] args)
+        throws IOException
+    {
+        final String[] strings = new String[COUNT];
+        final StringBuilder encodings = new StringBuilder();
+        final StringBuilder offsets = new StringBuilder();
+
+        for(int value = 0; value < COUNT; value++)
+        {
+            strings[value] = DIGITS[3][value / 1000] + DIGITS[2][value / 100 % 10] + DIGITS[1][value / 10 % 10] +
+                DIGITS[0][value % 10];
+            offsets.append((char) encodings.length());
+            encodings.append(strings[value]);
+        }
+        offsets.append((char) encodings.length());
+
+        final Integer[] sorted = new Integer[COUNT];
+        for(int value = 0; value < COUNT; value++)
+            sorted[value] = value;
+        Arrays.sort(sorted, Comparator.comparing(value -> strings[value]));
+
+        final StringBuilder parseIndex = new StringBuilder();
+        for(final int value : sorted)
+            parseIndex.append((char) value);
+
+        final Path path = Path.of(args[0], "de", "sebastianzander", "romannumerals", "RomanNumeralTableData.java");
+        Files.createDirectories(path.getParent());
+
+        try(Writer out = Files.newBufferedWriter(path, StandardCharsets.US_ASCII))
+        {
+            out.write("package de.sebastianzander.romannumerals;\n\n");
+            out.write("// generated by src/build/java/RomanNumeralTableDataGenerator.java; do not edit\n");
+            out.write("final class RomanNumeralTableData\n{\n");
+            out.write("    private RomanNumeralTableData() {}\n\n");
+            out.write("    // ASCII encodings of all standard form Roman numerals from 0 to 3999, concatenated\n");
+            writeConstant(out, "ENCODINGS", encodings, 96);
+            out.write("\n    // ENCODINGS from OFFSETS.charAt(value) up to OFFSETS.charAt(value + 1) is the encoding of value\n");
+            writeConstant(out, "OFFSETS", offsets, 16);
+            out.write("\n    // all values sorted by the lexicographic order of their Roman numeral strings\n");
+            writeConstant(out, "PARSE_INDEX", parseIndex, 16);
+            out.write("}\n");
+        }
+    }
+
+    private static void writeConstant(final Writer out, final String name, final CharSequence value,
+        final int charsPerLine)
+        throws IOException
+    {
+        out.write("    static final String " + name + " =\n        \"");
+        for(int i = 0; i < value.length(); i++)
+        {
+            if(i > 0 && i % charsPerLine == 0)
+                out.write("\" +\n        \"");
+
+            out.write(escape(value.charAt(i)));
+        }
+        out.write("\";\n");
+    }
+
+    private static String escape(final char c)
+    {
+        // unicode escapes are translated before the source is tokenised, so line breaks, quotes and backslashes
+        // need their regular escape sequences
+        return switch(c)
+        {
+            case '\n' -> "\\n";
+            case '\r' -> "\\r";
+            case '"' -> "\\\"";
+            case '\\' -> "\\\\";
+            default -> c >= 'A' && c <= 'Z' ? String.valueOf(c) : String.format("\\u%04X", (int) c);
+        };
+    }
+}
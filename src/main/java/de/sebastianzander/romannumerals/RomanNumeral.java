@@ -1,28 +1,54 @@
 package de.sebastianzander.romannumerals;
 
-import java.util.*;
-
 public final class RomanNumeral
 {
-    private record RomanValue(String numeral, int value) {}
-
-    private static final String ORDERED_NUMERALS = "IVXLCDM";
-    private static final List<RomanValue> ROMAN_VALUES = Arrays.asList
-    (
-        new RomanValue( "M", 1000),
-        new RomanValue("CM",  900),
-        new RomanValue( "D",  500),
-        new RomanValue("CD",  400),
-        new RomanValue( "C",  100),
-        new RomanValue("XC",   90),
-        new RomanValue( "L",   50),
-        new RomanValue("XL",   40),
-        new RomanValue( "X",   10),
-        new RomanValue("IX",    9),
-        new RomanValue( "V",    5),
-        new RomanValue("IV",    4),
-        new RomanValue( "I",    1)
-    );
+    /*
+     * Symbol table of the lenient parser. Each entry packs the value of a numeral character and its rank in the order
+     * I, V, X, L, C, D, M, U+2181, U+2182, U+2187, U+2188 as (value << 4 | rank + 1). Single code point ligatures
+     * such as U+216B (XII) have rank -1, so they never take part in subtractive notation. An entry of 0 marks a
+     * character that is not a Roman numeral.
+     */
+    private static final int RANK_BITS = 4;
+    private static final int LIGATURE = -1;
+    private static final int[] ASCII_SYMBOLS = new int[128];
+    private static final int NUMBER_FORMS_FIRST = 0x2160;
+    private static final int[] NUMBER_FORMS_SYMBOLS = new int[0x2189 - NUMBER_FORMS_FIRST];
+
+    static
+    {
+        final String letters = "IVXLCDM";
+        final int[] values = { 1, 5, 10, 50, 100, 500, 1000 };
+        final int[] numberForms = { 0x2160, 0x2164, 0x2169, 0x216C, 0x216D, 0x216E, 0x216F };
+
+        for(int rank = 0; rank < letters.length(); rank++)
+        {
+            final int symbol = symbol(values[rank], rank);
+            ASCII_SYMBOLS[letters.charAt(rank)] = symbol;
+            ASCII_SYMBOLS[Character.toLowerCase(letters.charAt(rank))] = symbol;
+            NUMBER_FORMS_SYMBOLS[numberForms[rank] - NUMBER_FORMS_FIRST] = symbol;
+            NUMBER_FORMS_SYMBOLS[numberForms[rank] + 0x10 - NUMBER_FORMS_FIRST] = symbol;
+        }
+
+        // medieval trailing j
+        ASCII_SYMBOLS['J'] = ASCII_SYMBOLS['j'] = symbol(1, 0);
+
+        // ligatures II, III, IV, VI, VII, VIII, IX, XI and XII in upper and lower case
+        for(final int ligature : new int[] { 0x2161, 0x2162, 0x2163, 0x2165, 0x2166, 0x2167, 0x2168, 0x216A, 0x216B })
+        {
+            final int symbol = symbol(ligature - 0x2160 + 1, LIGATURE);
+            NUMBER_FORMS_SYMBOLS[ligature - NUMBER_FORMS_FIRST] = symbol;
+            NUMBER_FORMS_SYMBOLS[ligature + 0x10 - NUMBER_FORMS_FIRST] = symbol;
+        }
+
+        // archaic forms; reversed C (U+2183, U+2184) has no value on its own
+        NUMBER_FORMS_SYMBOLS[0x2180 - NUMBER_FORMS_FIRST] = symbol(1000, 6);
+        NUMBER_FORMS_SYMBOLS[0x2181 - NUMBER_FORMS_FIRST] = symbol(5000, 7);
+        NUMBER_FORMS_SYMBOLS[0x2182 - NUMBER_FORMS_FIRST] = symbol(10000, 8);
+        NUMBER_FORMS_SYMBOLS[0x2185 - NUMBER_FORMS_FIRST] = symbol(6, LIGATURE);
+        NUMBER_FORMS_SYMBOLS[0x2186 - NUMBER_FORMS_FIRST] = symbol(50, 3);
+        NUMBER_FORMS_SYMBOLS[0x2187 - NUMBER_FORMS_FIRST] = symbol(50000, 9);
+        NUMBER_FORMS_SYMBOLS[0x2188 - NUMBER_FORMS_FIRST] = symbol(100000, 10);
+    }
 
     private int m_arabicDecimal = 0;
     private String m_romanNumeralString = "";
@@ -51,6 +77,20 @@ public final class RomanNumeral
         setRomanNumeralString(romanNumeralString);
     }
 
+    public RomanNumeral(final int arabicDecimal, final RomanNumeralDialect dialect)
+        throws IllegalArgumentException
+    {
+        m_arabicDecimal = arabicDecimal;
+        m_romanNumeralString = dialect.format(arabicDecimal);
+    }
+
+    public RomanNumeral(final String romanNumeralString, final RomanNumeralDialect dialect)
+        throws IllegalArgumentException
+    {
+        m_arabicDecimal = dialect.parse(romanNumeralString);
+        m_romanNumeralString = romanNumeralString;
+    }
+
     /*  ------------------------------------------------------------------------------------------------------------ *
      *  Getters and setters                                                                                          *
      *  ------------------------------------------------------------------------------------------------------------ */
@@ -319,14 +359,14 @@ public final class RomanNumeral
     {
         int decimal = 0, lastNumeralIndex = -1, lastValue = 0;
 
-        for(final char numeral : romanNumeralString.toCharArray())
+        for(int i = 0; i < romanNumeralString.length(); i++)
         {
-            int value = convertRomanNumeralCharToDecimal(numeral);
+            final int symbol = lookupSymbol(romanNumeralString.charAt(i));
+            final int value = symbol >>> RANK_BITS;
             decimal += value;
 
-            // indexOf has to return a valid character index here since convertRomanNumeralCharToDecimal did not throw
-            int charIndex = ORDERED_NUMERALS.indexOf(numeral);
-            int charIndexDiff = charIndex - lastNumeralIndex;
+            final int charIndex = (symbol & ((1 << RANK_BITS) - 1)) - 1;
+            final int charIndexDiff = charIndex - lastNumeralIndex;
 
             boolean lastNumeralNeedsSubtracting = lastNumeralIndex >= 0 && (charIndexDiff == 1 || charIndexDiff == 2);
             if(lastNumeralNeedsSubtracting)
@@ -343,19 +383,50 @@ public final class RomanNumeral
     }
 
     /**
-     * Converts a single Roman numeral to its Arabic decimal integer representation.
+     * Strictly converts a Roman numeral string in the given dialect to its Arabic decimal integer representation.
+     * @param romanNumeralString The Roman numeral string
+     * @param dialect The dialect the Roman numeral string has to be written in
+     * @return The Arabic decimal integer representation of the given Roman numeral
+     */
+    public static int convertRomanNumeralStringToArabicDecimal(final String romanNumeralString,
+        final RomanNumeralDialect dialect)
+        throws IllegalArgumentException
+    {
+        return dialect.parse(romanNumeralString);
+    }
+
+    /**
+     * Converts a single Roman numeral to its Arabic decimal integer representation. Upper and lower case letters,
+     * the medieval <code>j</code> and the numeral characters of the Unicode Number Forms block (U+2160 to U+2188,
+     * including ligatures such as U+216B for XII) are recognised.
      * @param romanNumeralString The Roman numeral character
      * @return The Arabic decimal integer representation of the given Roman numeral character
      */
     public static int convertRomanNumeralCharToDecimal(final char romanNumeralString)
         throws IllegalArgumentException
     {
-        for(final RomanValue rv : ROMAN_VALUES)
-            if(rv.numeral.length() == 1 && rv.numeral.charAt(0) == romanNumeralString)
-                return rv.value;
+        return lookupSymbol(romanNumeralString) >>> RANK_BITS;
+    }
+
+    private static int lookupSymbol(final char numeral)
+        throws IllegalArgumentException
+    {
+        int symbol = 0;
+        if(numeral < ASCII_SYMBOLS.length)
+            symbol = ASCII_SYMBOLS[numeral];
+        else if(numeral >= NUMBER_FORMS_FIRST && numeral - NUMBER_FORMS_FIRST < NUMBER_FORMS_SYMBOLS.length)
+            symbol = NUMBER_FORMS_SYMBOLS[numeral - NUMBER_FORMS_FIRST];
 
-        throw new IllegalArgumentException("The given character '" + romanNumeralString +
-            "' does not present a valid standard form roman numeral");
+        if(symbol == 0)
+            throw new IllegalArgumentException("The given character '" + numeral +
+                "' does not present a valid standard form roman numeral");
+
+        return symbol;
+    }
+
+    private static int symbol(final int value, final int rank)
+    {
+        return value << RANK_BITS | rank + 1;
     }
 
     /**
@@ -366,24 +437,48 @@ public final class RomanNumeral
     public static String convertArabicDecimalToRomanNumeralString(final int arabicDecimal)
         throws IllegalArgumentException
     {
-        if(arabicDecimal == 0)
-            return "";
-
-        if(arabicDecimal < 0 || arabicDecimal > 3999)
-            throw new IllegalArgumentException("Decimal number " + arabicDecimal +
-                " is not in the valid range of standard form roman numerals");
+        // same as RomanNumeralDialect.SUBTRACTIVE.format, but without initialising the dialects on the first call
+        RomanNumeralTables.checkRange(arabicDecimal);
+        return RomanNumeralTables.string(arabicDecimal);
+    }
 
-        StringBuilder string = new StringBuilder();
-        int decimal = arabicDecimal;
+    /**
+     * Converts an Arabic decimal integer to its Roman numeral string representation using the numeral characters of
+     * the Unicode Number Forms block.
+     * @param arabicDecimal The Arabic decimal integer
+     * @return The Unicode Roman numeral string representation of the given Arabic decimal integer
+     */
+    public static String convertArabicDecimalToUnicodeRomanNumeralString(final int arabicDecimal)
+        throws IllegalArgumentException
+    {
+        return RomanNumeralDialect.SUBTRACTIVE.formatUnicode(arabicDecimal);
+    }
 
-        for(final RomanValue rv : ROMAN_VALUES) {
-            while(decimal >= rv.value && decimal > 0) {
-                decimal -= rv.value;
-                string.append(rv.numeral);
-            }
-        }
+    /**
+     * Converts an Arabic decimal integer to its Roman numeral string representation in the given dialect using the
+     * numeral characters of the Unicode Number Forms block.
+     * @param arabicDecimal The Arabic decimal integer
+     * @param dialect The dialect to write the Roman numeral string in
+     * @return The Unicode Roman numeral string representation of the given Arabic decimal integer
+     */
+    public static String convertArabicDecimalToUnicodeRomanNumeralString(final int arabicDecimal,
+        final RomanNumeralDialect dialect)
+        throws IllegalArgumentException
+    {
+        return dialect.formatUnicode(arabicDecimal);
+    }
 
-        return string.toString();
+    /**
+     * Converts an Arabic decimal integer to its Roman numeral string representation in the given dialect.
+     * @param arabicDecimal The Arabic decimal integer
+     * @param dialect The dialect to write the Roman numeral string in
+     * @return The Roman numeral string representation of the given Arabic decimal integer
+     */
+    public static String convertArabicDecimalToRomanNumeralString(final int arabicDecimal,
+        final RomanNumeralDialect dialect)
+        throws IllegalArgumentException
+    {
+        return dialect.format(arabicDecimal);
     }
 
     public static RomanNumeral fromRomanNumeralString(final String romanNumeralString)
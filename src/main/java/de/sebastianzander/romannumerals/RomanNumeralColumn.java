@@ -0,0 +1,332 @@
+package de.sebastianzander.romannumerals;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An off-heap column of Roman numeral values. Values are packed as 16-bit Arabic decimal integers into a memory
+ * segment that is either allocated natively or mapped from a file, so large datasets neither occupy the Java heap nor
+ * create RomanNumeral objects. Rows are converted in bulk between the column and buffers of delimiter-separated ASCII
+ * Roman numeral strings.
+ * <p>
+ * The segment starts with a header holding a magic number and the number of rows, so a file-mapped column can be
+ * reopened later. All values are stored in little-endian byte order, so column files can be moved between machines.
+ * <p>
+ * A column owns its memory and has to be closed, which frees the native memory or unmaps the file right away instead
+ * of waiting for the garbage collector; any access after closing throws IllegalStateException. Native memory is not
+ * limited by <code>-XX:MaxDirectMemorySize</code>, and rows are indexed by <code>long</code>, so a column can hold
+ * more than two billion rows. A column is not thread-safe, but it may be handed over to and closed by another thread.
+ */
+public final class RomanNumeralColumn
+    implements AutoCloseable
+{
+    private static final int MAGIC = 0x524E4331;
+    private static final long HEADER_BYTES = 2 * Long.BYTES;
+    private static final long MAGIC_OFFSET = 0;
+    private static final long SIZE_OFFSET = Long.BYTES;
+    private static final long MAX_CAPACITY = (Long.MAX_VALUE - HEADER_BYTES) / Short.BYTES;
+
+    private static final ValueLayout.OfInt MAGIC_LAYOUT = ValueLayout.JAVA_INT.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfLong SIZE_LAYOUT = ValueLayout.JAVA_LONG.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfShort ROW_LAYOUT = ValueLayout.JAVA_SHORT.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private final Arena m_arena;
+    private final MemorySegment m_segment;
+    private final long m_capacity;
+    private long m_size;
+
+    private RomanNumeralColumn(final Arena arena, final MemorySegment segment, final long size)
+    {
+        m_arena = arena;
+        m_segment = segment;
+        m_capacity = (segment.byteSize() - HEADER_BYTES) / Short.BYTES;
+        m_segment.set(MAGIC_LAYOUT, MAGIC_OFFSET, MAGIC);
+        setSize(size);
+    }
+
+    /*  ------------------------------------------------------------------------------------------------------------ *
+     *  Construction                                                                                                 *
+     *  ------------------------------------------------------------------------------------------------------------ */
+
+    /**
+     * Allocates an empty column in native (off-heap) memory.
+     * @param capacity The maximum number of rows
+     * @return The new column, which has to be closed
+     */
+    public static RomanNumeralColumn allocate(final long capacity)
+        throws IllegalArgumentException
+    {
+        final long byteSize = byteSize(capacity);
+        final Arena arena = Arena.ofShared();
+        return new RomanNumeralColumn(arena, arena.allocate(byteSize, Long.BYTES), 0);
+    }
+
+    /**
+     * Maps a column file into memory, creating it if it does not exist yet or is empty. The rows of an existing column
+     * file are preserved. The header of an existing file is validated before the file is mapped, so a file that is no
+     * Roman numeral column is neither read as one nor grown.
+     * @param path The path of the column file
+     * @param capacity The maximum number of rows
+     * @return The file-mapped column, which has to be closed to unmap the file
+     */
+    public static RomanNumeralColumn map(final Path path, final long capacity)
+        throws IOException, IllegalArgumentException
+    {
+        final long byteSize = byteSize(capacity);
+
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE))
+        {
+            final long size = channel.size() == 0 ? 0 : readSize(channel, capacity);
+
+            // the mapping stays valid after the channel is closed, until the arena is closed
+            final Arena arena = Arena.ofShared();
+            try
+            {
+                return new RomanNumeralColumn(arena, channel.map(FileChannel.MapMode.READ_WRITE, 0, byteSize, arena),
+                    size);
+            }
+            catch(IOException | RuntimeException e)
+            {
+                arena.close();
+                throw e;
+            }
+        }
+    }
+
+    private static long readSize(final FileChannel channel, final long capacity)
+        throws IOException, IllegalArgumentException
+    {
+        final ByteBuffer header = ByteBuffer.allocate((int) HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        while(header.hasRemaining() && channel.read(header, header.position()) >= 0)
+            continue;
+
+        if(header.hasRemaining() || header.getInt((int) MAGIC_OFFSET) != MAGIC)
+            throw new IllegalArgumentException("The file does not hold a Roman numeral column");
+
+        final long size = header.getLong((int) SIZE_OFFSET);
+        if(size < 0 || size > (channel.size() - HEADER_BYTES) / Short.BYTES)
+            throw new IllegalArgumentException("The file does not hold a valid Roman numeral column");
+
+        if(size > capacity)
+            throw new IllegalArgumentException("The column file holds " + size + " rows, which exceeds capacity " +
+                capacity);
+
+        return size;
+    }
+
+    private static long byteSize(final long capacity)
+    {
+        if(capacity < 0 || capacity > MAX_CAPACITY)
+            throw new IllegalArgumentException("Capacity " + capacity + " is not in the valid range of 0 to " +
+                MAX_CAPACITY);
+
+        return HEADER_BYTES + capacity * Short.BYTES;
+    }
+
+    /**
+     * Closes this column. Frees its native memory or unmaps its file; changes of a file-mapped column are written
+     * back to the file by the operating system. Closing a closed column has no effect.
+     */
+    @Override
+    public void close()
+    {
+        if(m_arena.scope().isAlive())
+            m_arena.close();
+    }
+
+    /*  ------------------------------------------------------------------------------------------------------------ *
+     *  Getters and setters                                                                                          *
+     *  ------------------------------------------------------------------------------------------------------------ */
+
+    /**
+     * Gets the number of rows in this column.
+     * @return The number of rows
+     */
+    public long size()
+    {
+        return m_size;
+    }
+
+    /**
+     * Gets the maximum number of rows this column can hold.
+     * @return The maximum number of rows
+     */
+    public long capacity()
+    {
+        return m_capacity;
+    }
+
+    /**
+     * Gets the Arabic decimal integer value of a row.
+     * @param row The row index
+     * @return The Arabic decimal integer value
+     */
+    public int get(final long row)
+        throws IndexOutOfBoundsException
+    {
+        checkRow(row, m_size);
+        return getRow(row);
+    }
+
+    /**
+     * Sets the Arabic decimal integer value of an existing row.
+     * @param row The row index
+     * @param arabicDecimal The new Arabic decimal integer value
+     */
+    public void set(final long row, final int arabicDecimal)
+        throws IndexOutOfBoundsException, IllegalArgumentException
+    {
+        checkRow(row, m_size);
+        checkValue(arabicDecimal);
+        setRow(row, arabicDecimal);
+    }
+
+    /**
+     * Appends a row holding the given Arabic decimal integer value.
+     * @param arabicDecimal The Arabic decimal integer value
+     */
+    public void add(final int arabicDecimal)
+        throws IllegalStateException, IllegalArgumentException
+    {
+        if(m_size == m_capacity)
+            throw new IllegalStateException("The column is full");
+
+        checkValue(arabicDecimal);
+        setRow(m_size, arabicDecimal);
+        setSize(m_size + 1);
+    }
+
+    /**
+     * Removes all rows.
+     */
+    public void clear()
+    {
+        setSize(0);
+    }
+
+    /**
+     * Writes changes of a file-mapped column back to its file. Does nothing for a column in native memory.
+     */
+    public void force()
+    {
+        if(m_segment.isMapped())
+            m_segment.force();
+    }
+
+    private int getRow(final long row)
+    {
+        return m_segment.get(ROW_LAYOUT, HEADER_BYTES + row * Short.BYTES);
+    }
+
+    private void setRow(final long row, final int arabicDecimal)
+    {
+        m_segment.set(ROW_LAYOUT, HEADER_BYTES + row * Short.BYTES, (short) arabicDecimal);
+    }
+
+    private void setSize(final long size)
+    {
+        m_size = size;
+        m_segment.set(SIZE_LAYOUT, SIZE_OFFSET, size);
+    }
+
+    private static void checkRow(final long row, final long size)
+    {
+        if(row < 0 || row >= size)
+            throw new IndexOutOfBoundsException("Row " + row + " is out of bounds for column size " + size);
+    }
+
+    private static void checkValue(final int arabicDecimal)
+    {
+        if(arabicDecimal < 0 || arabicDecimal > 3999)
+            throw new IllegalArgumentException("Decimal number " + arabicDecimal +
+                " is not in the valid range of standard form roman numerals");
+    }
+
+    /*  ------------------------------------------------------------------------------------------------------------ *
+     *  Bulk conversion                                                                                              *
+     *  ------------------------------------------------------------------------------------------------------------ */
+
+    /**
+     * Parses delimiter-separated ASCII Roman numeral strings from <code>source</code>, between its position and its
+     * limit, and appends their values as rows. A last record without a trailing delimiter is parsed as well. Parsing
+     * stops early when the column is full; the source's position is advanced past all parsed records.
+     * <p>
+     * If a record is invalid, the call has no effect: no rows are appended and the source's position is left where it
+     * was, so the whole buffer can be retried or skipped.
+     * @param source The buffer holding the Roman numeral strings
+     * @param delimiter The byte separating two records, e.g. <code>'\n'</code>
+     * @param dialect The dialect the Roman numeral strings are strictly parsed in
+     * @return The number of rows appended
+     */
+    public int parseFrom(final ByteBuffer source, final byte delimiter, final RomanNumeralDialect dialect)
+        throws IllegalArgumentException
+    {
+        final int limit = source.limit();
+        final long firstRow = m_size;
+        int start = source.position();
+        long row = m_size;
+
+        while(start < limit && row < m_capacity)
+        {
+            int end = start;
+            while(end < limit && source.get(end) != delimiter)
+                end++;
+
+            final int decimal = dialect.tryParse(source, start, end - start);
+            if(decimal < 0)
+            {
+                // rows written past m_size are not part of the column, so leaving the size untouched rolls back
+                throw new IllegalArgumentException("The record at offset " + start +
+                    " does not present a valid " + dialect + " roman numeral");
+            }
+
+            setRow(row, decimal);
+            row++;
+            start = Math.min(end + 1, limit);
+        }
+
+        setSize(row);
+        source.position(start);
+        return (int) (row - firstRow);
+    }
+
+    /**
+     * Formats rows as delimiter-terminated ASCII Roman numeral strings into <code>target</code>, starting at its
+     * position. Formatting stops early when the target may not have room for the next record; the target's position
+     * is advanced past all written records.
+     * @param target The buffer to write the Roman numeral strings to
+     * @param fromRow The index of the first row to format
+     * @param delimiter The byte terminating each record, e.g. <code>'\n'</code>
+     * @param dialect The dialect to format the Roman numeral strings in
+     * @return The number of rows formatted
+     */
+    public int formatTo(final ByteBuffer target, final long fromRow, final byte delimiter,
+        final RomanNumeralDialect dialect)
+        throws IndexOutOfBoundsException
+    {
+        if(fromRow < 0 || fromRow > m_size)
+            throw new IndexOutOfBoundsException("Row " + fromRow + " is out of bounds for column size " + m_size);
+
+        final int limit = target.limit(), maxRecordLength = dialect.maxLength() + 1;
+        int offset = target.position();
+        long row = fromRow;
+
+        while(row < m_size && limit - offset >= maxRecordLength)
+        {
+            offset += dialect.format(getRow(row), target, offset);
+            target.put(offset++, delimiter);
+            row++;
+        }
+
+        target.position(offset);
+        return (int) (row - fromRow);
+    }
+}
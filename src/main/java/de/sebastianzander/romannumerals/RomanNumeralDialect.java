@@ -0,0 +1,407 @@
+package de.sebastianzander.romannumerals;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A notation dialect of Roman numerals. Each dialect holds its own precomputed digit tables for the units, tens,
+ * hundreds and thousands positions, which are used both for formatting and for strict parsing. Picking a dialect
+ * therefore only picks a set of tables; the conversion loops themselves are the same for all dialects.
+ */
+public enum RomanNumeralDialect
+{
+    /**
+     * Standard form using subtractive notation, e.g. <code>IV</code>, <code>IX</code>, <code>XL</code> and
+     * <code>CM</code>. Being the most common dialect, it formats and parses through the build-time generated
+     * {@link RomanNumeralTables} instead of its digit tables.
+     */
+    SUBTRACTIVE(new String[][]
+    {
+        subtractive("I", "V", "X"),
+        subtractive("X", "L", "C"),
+        subtractive("C", "D", "M"),
+        thousands("M")
+    })
+    {
+        @Override
+        public String format(final int arabicDecimal)
+            throws IllegalArgumentException
+        {
+            RomanNumeralTables.checkRange(arabicDecimal);
+            return RomanNumeralTables.string(arabicDecimal);
+        }
+
+        @Override
+        public int format(final int arabicDecimal, final ByteBuffer buffer, final int offset)
+            throws IllegalArgumentException
+        {
+            RomanNumeralTables.checkRange(arabicDecimal);
+            return RomanNumeralTables.put(arabicDecimal, buffer, offset);
+        }
+
+        @Override
+        public int tryParse(final CharSequence romanNumeralString)
+        {
+            return RomanNumeralTables.parse(romanNumeralString);
+        }
+    },
+
+    /**
+     * Purely additive form, e.g. <code>IIII</code> for 4, <code>VIIII</code> for 9 and <code>CCCC</code> for 400.
+     */
+    ADDITIVE(new String[][]
+    {
+        additive("I", "V"),
+        additive("X", "L"),
+        additive("C", "D"),
+        thousands("M")
+    }),
+
+    /**
+     * Clock-face form that is subtractive except for the units position, where 4 is written as <code>IIII</code>.
+     */
+    CLOCK_FACE(new String[][]
+    {
+        clockFace("I", "V", "X"),
+        subtractive("X", "L", "C"),
+        subtractive("C", "D", "M"),
+        thousands("M")
+    }),
+
+    /**
+     * Medieval form written in lowercase letters where a trailing <code>i</code> is written as <code>j</code>, e.g.
+     * <code>iij</code> for 3 and <code>xviij</code> for 18.
+     */
+    MEDIEVAL(new String[][]
+    {
+        trailingJ(subtractive("i", "v", "x")),
+        subtractive("x", "l", "c"),
+        subtractive("c", "d", "m"),
+        thousands("m")
+    });
+
+    private static final int POSITIONS = 4;
+
+    // m_digits[position][digit] with position 0 being the units and position 3 being the thousands; all digit strings
+    // are ASCII, so they double as the byte encodings used by the ByteBuffer routines
+    private final String[][] m_digits;
+    private final int m_maxLength;
+
+    RomanNumeralDialect(final String[][] digits)
+    {
+        m_digits = digits;
+
+        int maxLength = 0;
+        for(final String[] positionDigits : digits)
+        {
+            int maxDigitLength = 0;
+            for(final String digit : positionDigits)
+                maxDigitLength = Math.max(maxDigitLength, digit.length());
+            maxLength += maxDigitLength;
+        }
+        m_maxLength = maxLength;
+    }
+
+    // the Unicode digit tables of all dialects, built on first use so formatting ASCII never pays for them
+    private static final class UnicodeHolder
+    {
+        static final String[][][] DIGITS = new String[values().length][POSITIONS][];
+
+        static
+        {
+            for(final RomanNumeralDialect dialect : values())
+                for(int position = 0; position < POSITIONS; position++)
+                {
+                    final String[] digits = dialect.m_digits[position];
+                    final String[] unicodeDigits = new String[digits.length];
+                    for(int digit = 0; digit < digits.length; digit++)
+                        unicodeDigits[digit] = toUnicode(digits[digit]);
+
+                    DIGITS[dialect.ordinal()][position] = unicodeDigits;
+                }
+        }
+    }
+
+    /**
+     * Gets the length of the longest Roman numeral string this dialect can format, in characters and ASCII bytes.
+     * @return The maximum Roman numeral string length
+     */
+    public int maxLength()
+    {
+        return m_maxLength;
+    }
+
+    /*  ------------------------------------------------------------------------------------------------------------ *
+     *  Conversion                                                                                                   *
+     *  ------------------------------------------------------------------------------------------------------------ */
+
+    /**
+     * Formats an Arabic decimal integer as a Roman numeral string in this dialect.
+     * @param arabicDecimal The Arabic decimal integer
+     * @return The Roman numeral string representation in this dialect
+     */
+    public String format(final int arabicDecimal)
+        throws IllegalArgumentException
+    {
+        RomanNumeralTables.checkRange(arabicDecimal);
+        return formatDigits(arabicDecimal);
+    }
+
+    /**
+     * Formats an Arabic decimal integer from 0 to 3999 through the digit tables of this dialect.
+     * @param arabicDecimal The Arabic decimal integer
+     * @return The Roman numeral string representation in this dialect
+     */
+    String formatDigits(final int arabicDecimal)
+    {
+        if(arabicDecimal == 0)
+            return "";
+
+        return new StringBuilder(16)
+            .append(m_digits[3][arabicDecimal / 1000])
+            .append(m_digits[2][arabicDecimal / 100 % 10])
+            .append(m_digits[1][arabicDecimal / 10 % 10])
+            .append(m_digits[0][arabicDecimal % 10])
+            .toString();
+    }
+
+    /**
+     * Formats an Arabic decimal integer as a Roman numeral string in this dialect, using the numeral characters
+     * U+2160 to U+217F of the Unicode Number Forms block instead of Latin letters. Every letter becomes exactly one
+     * numeral character; ligatures such as U+216B (XII) are not used. Since there is no numeral character for
+     * <code>j</code>, the medieval dialect writes it as U+2170 (small i).
+     * @param arabicDecimal The Arabic decimal integer
+     * @return The Roman numeral string representation in this dialect using Unicode numeral characters
+     */
+    public String formatUnicode(final int arabicDecimal)
+        throws IllegalArgumentException
+    {
+        RomanNumeralTables.checkRange(arabicDecimal);
+
+        if(arabicDecimal == 0)
+            return "";
+
+        final String[][] unicodeDigits = UnicodeHolder.DIGITS[ordinal()];
+        return new StringBuilder(16)
+            .append(unicodeDigits[3][arabicDecimal / 1000])
+            .append(unicodeDigits[2][arabicDecimal / 100 % 10])
+            .append(unicodeDigits[1][arabicDecimal / 10 % 10])
+            .append(unicodeDigits[0][arabicDecimal % 10])
+            .toString();
+    }
+
+    /**
+     * Strictly parses a Roman numeral string that has to be in the exact form this dialect would format it.
+     * @param romanNumeralString The Roman numeral string
+     * @return The Arabic decimal integer representation of the given Roman numeral
+     */
+    public int parse(final CharSequence romanNumeralString)
+        throws IllegalArgumentException
+    {
+        int decimal = tryParse(romanNumeralString);
+        if(decimal < 0)
+            throw new IllegalArgumentException("The given string '" + romanNumeralString +
+                "' does not present a valid " + this + " roman numeral");
+
+        return decimal;
+    }
+
+    /**
+     * Strictly parses a Roman numeral string like {@link #parse(CharSequence)} but signals an invalid string by
+     * returning -1 instead of throwing.
+     * @param romanNumeralString The Roman numeral string
+     * @return The Arabic decimal integer representation of the given Roman numeral or -1 if it is invalid
+     */
+    public int tryParse(final CharSequence romanNumeralString)
+    {
+        final int length = romanNumeralString.length();
+        int decimal = 0, offset = 0;
+
+        for(int position = POSITIONS - 1; position >= 0; position--)
+        {
+            final String[] digits = m_digits[position];
+            int matchedDigit = 0, matchedLength = 0;
+
+            // the longest matching digit wins; a shorter match would leave a letter no lower position starts with
+            for(int digit = 1; digit < digits.length; digit++)
+            {
+                final String candidate = digits[digit];
+                if(candidate.length() > matchedLength && regionMatches(romanNumeralString, offset, candidate))
+                {
+                    matchedDigit = digit;
+                    matchedLength = candidate.length();
+                }
+            }
+
+            decimal = decimal * 10 + matchedDigit;
+            offset += matchedLength;
+        }
+
+        return offset == length ? decimal : -1;
+    }
+
+    /**
+     * Formats an Arabic decimal integer as ASCII bytes into <code>buffer</code> at the absolute <code>offset</code>,
+     * without allocating. The buffer's position is left untouched.
+     * @param arabicDecimal The Arabic decimal integer
+     * @param buffer The buffer to write to; needs room for up to {@link #maxLength()} bytes
+     * @param offset The absolute offset to start writing at
+     * @return The number of bytes written
+     */
+    public int format(final int arabicDecimal, final ByteBuffer buffer, final int offset)
+        throws IllegalArgumentException
+    {
+        RomanNumeralTables.checkRange(arabicDecimal);
+
+        int end = offset;
+        end = put(buffer, end, m_digits[3][arabicDecimal / 1000]);
+        end = put(buffer, end, m_digits[2][arabicDecimal / 100 % 10]);
+        end = put(buffer, end, m_digits[1][arabicDecimal / 10 % 10]);
+        end = put(buffer, end, m_digits[0][arabicDecimal % 10]);
+        return end - offset;
+    }
+
+    /**
+     * Strictly parses a Roman numeral string stored as ASCII bytes in <code>buffer</code>, without allocating. The
+     * buffer's position is left untouched.
+     * @param buffer The buffer to read from
+     * @param offset The absolute offset of the first byte of the Roman numeral string
+     * @param length The length of the Roman numeral string in bytes
+     * @return The Arabic decimal integer representation of the given Roman numeral or -1 if it is invalid
+     */
+    public int tryParse(final ByteBuffer buffer, final int offset, final int length)
+    {
+        int decimal = 0, position = offset;
+        final int end = offset + length;
+
+        for(int digitPosition = POSITIONS - 1; digitPosition >= 0; digitPosition--)
+        {
+            final String[] digits = m_digits[digitPosition];
+            int matchedDigit = 0, matchedLength = 0;
+
+            for(int digit = 1; digit < digits.length; digit++)
+            {
+                final String candidate = digits[digit];
+                if(candidate.length() > matchedLength && regionMatches(buffer, position, end, candidate))
+                {
+                    matchedDigit = digit;
+                    matchedLength = candidate.length();
+                }
+            }
+
+            decimal = decimal * 10 + matchedDigit;
+            position += matchedLength;
+        }
+
+        return position == end ? decimal : -1;
+    }
+
+    private static int put(final ByteBuffer buffer, final int offset, final String digit)
+    {
+        final int length = digit.length();
+        for(int i = 0; i < length; i++)
+            buffer.put(offset + i, (byte) digit.charAt(i));
+
+        return offset + length;
+    }
+
+    private static boolean regionMatches(final ByteBuffer buffer, final int offset, final int end,
+        final String candidate)
+    {
+        final int length = candidate.length();
+        if(offset + length > end)
+            return false;
+
+        for(int i = 0; i < length; i++)
+            if(buffer.get(offset + i) != candidate.charAt(i))
+                return false;
+
+        return true;
+    }
+
+    private static boolean regionMatches(final CharSequence string, final int offset, final String candidate)
+    {
+        final int length = candidate.length();
+        if(offset + length > string.length())
+            return false;
+
+        for(int i = 0; i < length; i++)
+            if(string.charAt(offset + i) != candidate.charAt(i))
+                return false;
+
+        return true;
+    }
+
+    /*  ------------------------------------------------------------------------------------------------------------ *
+     *  Digit table construction                                                                                     *
+     *  ------------------------------------------------------------------------------------------------------------ */
+
+    // the digit tables are built with String.concat rather than +, which would bootstrap StringConcatFactory
+    // during class initialisation and cost several milliseconds of startup time
+
+    private static String[] subtractive(final String one, final String five, final String ten)
+    {
+        return new String[]
+        {
+            "", one, one.repeat(2), one.repeat(3), one.concat(five),
+            five, five.concat(one), five.concat(one.repeat(2)), five.concat(one.repeat(3)), one.concat(ten)
+        };
+    }
+
+    private static String[] additive(final String one, final String five)
+    {
+        return new String[]
+        {
+            "", one, one.repeat(2), one.repeat(3), one.repeat(4),
+            five, five.concat(one), five.concat(one.repeat(2)), five.concat(one.repeat(3)), five.concat(one.repeat(4))
+        };
+    }
+
+    private static String[] clockFace(final String one, final String five, final String ten)
+    {
+        String[] digits = subtractive(one, five, ten);
+        digits[4] = one.repeat(4);
+        return digits;
+    }
+
+    private static String[] trailingJ(final String[] digits)
+    {
+        for(int digit = 0; digit < digits.length; digit++)
+            if(digits[digit].endsWith("i"))
+                digits[digit] = digits[digit].substring(0, digits[digit].length() - 1).concat("j");
+
+        return digits;
+    }
+
+    private static String toUnicode(final String digit)
+    {
+        final char[] numerals = digit.toCharArray();
+        for(int i = 0; i < numerals.length; i++)
+        {
+            numerals[i] = switch(numerals[i])
+            {
+                case 'I' -> '\u2160';
+                case 'V' -> '\u2164';
+                case 'X' -> '\u2169';
+                case 'L' -> '\u216C';
+                case 'C' -> '\u216D';
+                case 'D' -> '\u216E';
+                case 'M' -> '\u216F';
+                case 'i', 'j' -> '\u2170';
+                case 'v' -> '\u2174';
+                case 'x' -> '\u2179';
+                case 'l' -> '\u217C';
+                case 'c' -> '\u217D';
+                case 'd' -> '\u217E';
+                case 'm' -> '\u217F';
+                default -> throw new IllegalArgumentException("'" + numerals[i] + "' is not a Roman numeral letter");
+            };
+        }
+
+        return new String(numerals);
+    }
+
+    private static String[] thousands(final String one)
+    {
+        return new String[] { "", one, one.repeat(2), one.repeat(3) };
+    }
+}
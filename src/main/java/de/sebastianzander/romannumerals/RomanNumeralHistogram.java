@@ -0,0 +1,289 @@
+package de.sebastianzander.romannumerals;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A frequency histogram of Roman numeral values from 0 to 3999 plus a count of invalid Roman numeral strings. Counts
+ * are kept in fixed primitive counter arrays, so recording never creates objects and memory use does not depend on
+ * the number of records. Recording is thread-safe: threads are spread over striped shards to keep contention low,
+ * and queries sum up all shards.
+ */
+public final class RomanNumeralHistogram
+{
+    private static final int SLOTS = 4000;
+    private static final int INVALID_SLOT = SLOTS;
+    private static final int VALUE_BITS = 12;
+
+    private final AtomicLongArray[] m_shards;
+    private final int m_shardMask;
+
+    /*  ------------------------------------------------------------------------------------------------------------ *
+     *  Construction                                                                                                 *
+     *  ------------------------------------------------------------------------------------------------------------ */
+
+    /**
+     * Creates an empty histogram with one shard per available processor.
+     */
+    public RomanNumeralHistogram()
+    {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates an empty histogram.
+     * @param shards The number of shards, rounded up to the next power of two
+     */
+    public RomanNumeralHistogram(final int shards)
+        throws IllegalArgumentException
+    {
+        if(shards < 1 || shards > 1 << 16)
+            throw new IllegalArgumentException("Shard count " + shards + " is not in the valid range of 1 to 65536");
+
+        final int shardCount = shards == 1 ? 1 : Integer.highestOneBit(shards - 1) << 1;
+        m_shards = new AtomicLongArray[shardCount];
+        for(int shard = 0; shard < shardCount; shard++)
+            m_shards[shard] = new AtomicLongArray(SLOTS + 1);
+
+        m_shardMask = shardCount - 1;
+    }
+
+    /*  ------------------------------------------------------------------------------------------------------------ *
+     *  Recording                                                                                                    *
+     *  ------------------------------------------------------------------------------------------------------------ */
+
+    /**
+     * Counts one occurrence of an Arabic decimal integer value.
+     * @param arabicDecimal The value from 0 to 3999
+     */
+    public void record(final int arabicDecimal)
+        throws IllegalArgumentException
+    {
+        if(arabicDecimal < 0 || arabicDecimal >= SLOTS)
+            throw new IllegalArgumentException("Decimal number " + arabicDecimal +
+                " is not in the valid range of standard form roman numerals");
+
+        shard().incrementAndGet(arabicDecimal);
+    }
+
+    /**
+     * Strictly parses a standard form Roman numeral string and counts one occurrence of its value, or of an invalid
+     * string if it does not parse. An empty string counts as invalid rather than as zero.
+     * @param romanNumeralString The Roman numeral string
+     * @return True if the Roman numeral string was valid
+     */
+    public boolean record(final CharSequence romanNumeralString)
+    {
+        return record(romanNumeralString, RomanNumeralDialect.SUBTRACTIVE);
+    }
+
+    /**
+     * Strictly parses a Roman numeral string in the given dialect and counts one occurrence of its value, or of an
+     * invalid string if it does not parse. An empty string counts as invalid rather than as zero.
+     * @param romanNumeralString The Roman numeral string
+     * @param dialect The dialect the Roman numeral string has to be written in
+     * @return True if the Roman numeral string was valid
+     */
+    public boolean record(final CharSequence romanNumeralString, final RomanNumeralDialect dialect)
+    {
+        return recordParsed(romanNumeralString.length() == 0 ? -1 : dialect.tryParse(romanNumeralString));
+    }
+
+    /**
+     * Strictly parses a Roman numeral string stored as ASCII bytes in <code>buffer</code> and counts one occurrence
+     * of its value, or of an invalid string if it does not parse. A zero-length string counts as invalid rather than as
+     * zero.
+     * @param buffer The buffer to read from
+     * @param offset The absolute offset of the first byte of the Roman numeral string
+     * @param length The length of the Roman numeral string in bytes
+     * @param dialect The dialect the Roman numeral string has to be written in
+     * @return True if the Roman numeral string was valid
+     */
+    public boolean record(final ByteBuffer buffer, final int offset, final int length,
+        final RomanNumeralDialect dialect)
+    {
+        return recordParsed(length == 0 ? -1 : dialect.tryParse(buffer, offset, length));
+    }
+
+    /**
+     * Counts one occurrence of every row of a column.
+     * @param column The column to count the rows of
+     */
+    public void record(final RomanNumeralColumn column)
+    {
+        final AtomicLongArray shard = shard();
+        final long size = column.size();
+        for(long row = 0; row < size; row++)
+            shard.incrementAndGet(column.get(row));
+    }
+
+    /**
+     * Counts one occurrence of an invalid Roman numeral string.
+     */
+    public void recordInvalid()
+    {
+        shard().incrementAndGet(INVALID_SLOT);
+    }
+
+    /**
+     * Adds all counts of another histogram to this histogram.
+     * @param other The histogram to merge into this
+     */
+    public void merge(final RomanNumeralHistogram other)
+    {
+        final AtomicLongArray shard = shard();
+        final long[] counts = other.snapshot();
+        for(int slot = 0; slot <= INVALID_SLOT; slot++)
+            if(counts[slot] != 0)
+                shard.addAndGet(slot, counts[slot]);
+    }
+
+    /**
+     * Resets all counts to zero. Occurrences recorded concurrently may or may not be kept.
+     */
+    public void clear()
+    {
+        for(final AtomicLongArray shard : m_shards)
+            for(int slot = 0; slot <= INVALID_SLOT; slot++)
+                shard.set(slot, 0);
+    }
+
+    private boolean recordParsed(final int arabicDecimal)
+    {
+        final boolean valid = arabicDecimal >= 0;
+        shard().incrementAndGet(valid ? arabicDecimal : INVALID_SLOT);
+        return valid;
+    }
+
+    private AtomicLongArray shard()
+    {
+        final int hash = System.identityHashCode(Thread.currentThread());
+        return m_shards[(hash ^ hash >>> 16) & m_shardMask];
+    }
+
+    /*  ------------------------------------------------------------------------------------------------------------ *
+     *  Queries                                                                                                      *
+     *  ------------------------------------------------------------------------------------------------------------ */
+
+    /**
+     * Gets the number of occurrences of a value.
+     * @param arabicDecimal The value from 0 to 3999
+     * @return The number of occurrences
+     */
+    public long count(final int arabicDecimal)
+        throws IllegalArgumentException
+    {
+        if(arabicDecimal < 0 || arabicDecimal >= SLOTS)
+            throw new IllegalArgumentException("Decimal number " + arabicDecimal +
+                " is not in the valid range of standard form roman numerals");
+
+        return sum(arabicDecimal);
+    }
+
+    /**
+     * Gets the number of invalid Roman numeral strings.
+     * @return The number of invalid Roman numeral strings
+     */
+    public long invalidCount()
+    {
+        return sum(INVALID_SLOT);
+    }
+
+    /**
+     * Gets the number of occurrences of all values, not including invalid Roman numeral strings.
+     * @return The total number of valid occurrences
+     */
+    public long totalCount()
+    {
+        final long[] counts = snapshot();
+        long total = 0;
+        for(int slot = 0; slot < SLOTS; slot++)
+            total += counts[slot];
+
+        return total;
+    }
+
+    /**
+     * Gets the smallest value that at least <code>percentile</code> percent of all valid occurrences are less than or
+     * equal to.
+     * @param percentile The percentile from 0 to 100
+     * @return The value at the given percentile
+     */
+    public int percentile(final double percentile)
+        throws IllegalArgumentException, IllegalStateException
+    {
+        if(!(percentile >= 0 && percentile <= 100))
+            throw new IllegalArgumentException("Percentile " + percentile + " is not in the valid range of 0 to 100");
+
+        final long[] counts = snapshot();
+        long total = 0;
+        for(int slot = 0; slot < SLOTS; slot++)
+            total += counts[slot];
+
+        if(total == 0)
+            throw new IllegalStateException("The histogram does not hold any valid occurrences");
+
+        // multiplying before dividing keeps whole percentages of whole totals exact, e.g. 7 * 100 / 100 == 7
+        final long rank = Math.max(1, (long) Math.ceil(percentile * total / 100));
+        long cumulative = 0;
+        for(int slot = 0; slot < SLOTS; slot++)
+        {
+            cumulative += counts[slot];
+            if(cumulative >= rank)
+                return slot;
+        }
+
+        return SLOTS - 1;
+    }
+
+    /**
+     * Gets the most frequent values, ordered by descending number of occurrences and ascending value among equally
+     * frequent ones. Values without occurrences are never included.
+     * @param k The maximum number of values to return
+     * @return Up to <code>k</code> most frequent values
+     */
+    public int[] topK(final int k)
+        throws IllegalArgumentException
+    {
+        if(k < 0)
+            throw new IllegalArgumentException("k must not be negative but is " + k);
+
+        final long[] counts = snapshot();
+
+        // pack count and inverted value into one long so a single primitive sort orders by count, then by value;
+        // counts stay below 2^51 for any realistic dataset
+        final long[] entries = new long[SLOTS];
+        int entryCount = 0;
+        for(int slot = 0; slot < SLOTS; slot++)
+            if(counts[slot] > 0)
+                entries[entryCount++] = counts[slot] << VALUE_BITS | (SLOTS - 1 - slot);
+
+        Arrays.sort(entries, 0, entryCount);
+
+        final int[] top = new int[Math.min(k, entryCount)];
+        for(int i = 0; i < top.length; i++)
+            top[i] = SLOTS - 1 - (int) (entries[entryCount - 1 - i] & (1 << VALUE_BITS) - 1);
+
+        return top;
+    }
+
+    private long sum(final int slot)
+    {
+        long sum = 0;
+        for(final AtomicLongArray shard : m_shards)
+            sum += shard.get(slot);
+
+        return sum;
+    }
+
+    private long[] snapshot()
+    {
+        final long[] counts = new long[SLOTS + 1];
+        for(final AtomicLongArray shard : m_shards)
+            for(int slot = 0; slot <= INVALID_SLOT; slot++)
+                counts[slot] += shard.get(slot);
+
+        return counts;
+    }
+}
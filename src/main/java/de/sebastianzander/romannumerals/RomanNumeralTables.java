@@ -0,0 +1,123 @@
+package de.sebastianzander.romannumerals;
+
+import java.nio.ByteBuffer;
+
+import static de.sebastianzander.romannumerals.RomanNumeralTableData.ENCODINGS;
+import static de.sebastianzander.romannumerals.RomanNumeralTableData.OFFSETS;
+import static de.sebastianzander.romannumerals.RomanNumeralTableData.PARSE_INDEX;
+
+/**
+ * Lookup tables of all standard form Roman numerals from 0 to 3999: their ASCII encodings, their strings and a parse
+ * index sorted by string. The tables are generated at build time into the string constants of RomanNumeralTableData
+ * (see <code>src/build/java</code>), so loading them involves no I/O and no decoding; the JVM resolves the constants
+ * lazily from the class file. Strings are only created for the values that are actually formatted.
+ */
+final class RomanNumeralTables
+{
+    static final int COUNT = 4000;
+
+    // shared strings, created on first use; racing threads may both create one, which is harmless for immutable
+    // strings
+    private static final String[] STRINGS = new String[COUNT];
+
+    private RomanNumeralTables() {}
+
+    /**
+     * Checks that a value can be written as a Roman numeral.
+     * @param arabicDecimal The value to check
+     */
+    static void checkRange(final int arabicDecimal)
+        throws IllegalArgumentException
+    {
+        if(arabicDecimal < 0 || arabicDecimal >= COUNT)
+            throw new IllegalArgumentException("Decimal number " + arabicDecimal +
+                " is not in the valid range of standard form roman numerals");
+    }
+
+    /**
+     * Gets the shared standard form Roman numeral string of a value.
+     * @param arabicDecimal A value from 0 to 3999
+     * @return The Roman numeral string
+     */
+    static String string(final int arabicDecimal)
+    {
+        String string = STRINGS[arabicDecimal];
+        if(string == null)
+        {
+            string = ENCODINGS.substring(OFFSETS.charAt(arabicDecimal), OFFSETS.charAt(arabicDecimal + 1));
+            STRINGS[arabicDecimal] = string;
+        }
+
+        return string;
+    }
+
+    /**
+     * Copies the ASCII encoding of a value's standard form Roman numeral into <code>buffer</code> at the absolute
+     * <code>offset</code>.
+     * @param arabicDecimal A value from 0 to 3999
+     * @param buffer The buffer to write to
+     * @param offset The absolute offset to start writing at
+     * @return The number of bytes written
+     */
+    static int put(final int arabicDecimal, final ByteBuffer buffer, final int offset)
+    {
+        final int start = OFFSETS.charAt(arabicDecimal);
+        final int length = OFFSETS.charAt(arabicDecimal + 1) - start;
+        for(int i = 0; i < length; i++)
+            buffer.put(offset + i, (byte) ENCODINGS.charAt(start + i));
+
+        return length;
+    }
+
+    /**
+     * Looks up a standard form Roman numeral string in the parse index.
+     * @param romanNumeralString The Roman numeral string
+     * @return The value of the Roman numeral string or -1 if it is not in standard form
+     */
+    static int parse(final CharSequence romanNumeralString)
+    {
+        int low = 0, high = COUNT - 1;
+
+        while(low <= high)
+        {
+            final int middle = (low + high) >>> 1;
+            final int value = PARSE_INDEX.charAt(middle);
+            final int comparison = compare(value, romanNumeralString);
+
+            if(comparison < 0)
+                low = middle + 1;
+            else if(comparison > 0)
+                high = middle - 1;
+            else
+                return value;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Gets the value at a position of the parse index.
+     * @param position The position in the parse index from 0 to 3999
+     * @return The value at that position
+     */
+    static int parseIndex(final int position)
+    {
+        return PARSE_INDEX.charAt(position);
+    }
+
+    private static int compare(final int arabicDecimal, final CharSequence string)
+    {
+        final int start = OFFSETS.charAt(arabicDecimal);
+        final int length = OFFSETS.charAt(arabicDecimal + 1) - start;
+        final int commonLength = Math.min(length, string.length());
+
+        for(int i = 0; i < commonLength; i++)
+        {
+            final int difference = ENCODINGS.charAt(start + i) - string.charAt(i);
+            if(difference != 0)
+                return difference;
+        }
+
+        return length - string.length();
+    }
+}
@@ -0,0 +1,269 @@
+import de.sebastianzander.romannumerals.RomanNumeralColumn;
+import de.sebastianzander.romannumerals.RomanNumeralDialect;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+public class RomanNumeralColumnTest
+{
+    /*  ------------------------------------------------------------------------------------------------------------ *
+     *  Rows                                                                                                         *
+     *  ------------------------------------------------------------------------------------------------------------ */
+
+    @Test
+    public void allocatedColumnShouldBeEmpty()
+    {
+        try(RomanNumeralColumn column = RomanNumeralColumn.allocate(4))
+        {
+            assertEquals(0, column.size());
+            assertEquals(4, column.capacity());
+        }
+    }
+
+    @Test
+    public void addedRowsShouldBeGettable()
+    {
+        try(RomanNumeralColumn column = RomanNumeralColumn.allocate(2))
+        {
+            column.add(3999);
+            column.add(0);
+            column.set(1, 1987);
+
+            assertEquals(2, column.size());
+            assertEquals(3999, column.get(0));
+            assertEquals(1987, column.get(1));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void addingToFullColumnShouldThrowIllegalStateException()
+    {
+        try(RomanNumeralColumn column = RomanNumeralColumn.allocate(1))
+        {
+            column.add(1);
+            column.add(2);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void adding4000ShouldThrowIllegalArgumentException()
+    {
+        try(RomanNumeralColumn column = RomanNumeralColumn.allocate(1))
+        {
+            column.add(4000);
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void accessingClosedColumnShouldThrowIllegalStateException()
+    {
+        RomanNumeralColumn column = RomanNumeralColumn.allocate(1);
+        column.add(1);
+        column.close();
+        column.close();
+        column.get(0);
+    }
+
+    @Test
+    public void mappedColumnShouldKeepRowsWhenReopened()
+        throws IOException
+    {
+        Path path = Files.createTempFile("roman-numeral-column", ".bin");
+        try
+        {
+            try(RomanNumeralColumn column = RomanNumeralColumn.map(path, 8))
+            {
+                column.add(44);
+                column.add(2021);
+            }
+
+            try(RomanNumeralColumn reopened = RomanNumeralColumn.map(path, 8))
+            {
+                assertEquals(2, reopened.size());
+                assertEquals(44, reopened.get(0));
+                assertEquals(2021, reopened.get(1));
+            }
+        }
+        finally
+        {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void closedMappedColumnFileShouldBeDeletable()
+        throws IOException
+    {
+        Path path = Files.createTempFile("roman-numeral-column", ".bin");
+        RomanNumeralColumn column = RomanNumeralColumn.map(path, 4);
+        column.add(1);
+        column.close();
+
+        Files.delete(path);
+        assertFalse(Files.exists(path));
+    }
+
+    @Test
+    public void mappedColumnFileShouldBeLittleEndian()
+        throws IOException
+    {
+        Path path = Files.createTempFile("roman-numeral-column", ".bin");
+        try
+        {
+            try(RomanNumeralColumn column = RomanNumeralColumn.map(path, 2))
+            {
+                column.add(1987);
+                column.force();
+            }
+
+            byte[] bytes = Files.readAllBytes(path);
+            assertEquals(1, bytes[8]);
+            assertEquals(0, bytes[9]);
+            assertEquals((byte) (1987 & 0xFF), bytes[16]);
+            assertEquals((byte) (1987 >>> 8), bytes[17]);
+        }
+        finally
+        {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void mappingForeignFileShouldThrowAndLeaveFileUnchanged()
+        throws IOException
+    {
+        Path path = Files.createTempFile("roman-numeral-column", ".txt");
+        try
+        {
+            Files.write(path, "MCMLXXXVII\n".getBytes(StandardCharsets.US_ASCII));
+            try
+            {
+                RomanNumeralColumn.map(path, 1000);
+                fail("Mapping a foreign file should throw IllegalArgumentException");
+            }
+            catch(IllegalArgumentException e)
+            {
+                assertEquals(11, Files.size(path));
+            }
+        }
+        finally
+        {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    /*  ------------------------------------------------------------------------------------------------------------ *
+     *  Bulk conversion                                                                                              *
+     *  ------------------------------------------------------------------------------------------------------------ */
+
+    @Test
+    public void parseFromShouldAppendAllRecords()
+    {
+        try(RomanNumeralColumn column = RomanNumeralColumn.allocate(8))
+        {
+            ByteBuffer source = ascii("MCMLXXXVII\nIV\n\nMMMCMXCIX");
+
+            assertEquals(4, column.parseFrom(source, (byte) '\n', RomanNumeralDialect.SUBTRACTIVE));
+            assertFalse(source.hasRemaining());
+            assertEquals(1987, column.get(0));
+            assertEquals(4, column.get(1));
+            assertEquals(0, column.get(2));
+            assertEquals(3999, column.get(3));
+        }
+    }
+
+    @Test
+    public void parseFromShouldStopWhenColumnIsFull()
+    {
+        try(RomanNumeralColumn column = RomanNumeralColumn.allocate(1))
+        {
+            ByteBuffer source = ascii("I\nII\n");
+
+            assertEquals(1, column.parseFrom(source, (byte) '\n', RomanNumeralDialect.SUBTRACTIVE));
+            assertEquals(2, source.position());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parseFromInvalidRecordShouldThrowIllegalArgumentException()
+    {
+        try(RomanNumeralColumn column = RomanNumeralColumn.allocate(4))
+        {
+            column.parseFrom(ascii("I\nIIII\n"), (byte) '\n', RomanNumeralDialect.SUBTRACTIVE);
+        }
+    }
+
+    @Test
+    public void parseFromInvalidRecordShouldLeaveColumnAndSourceUnchanged()
+    {
+        try(RomanNumeralColumn column = RomanNumeralColumn.allocate(4))
+        {
+            column.add(7);
+            ByteBuffer source = ascii("X\nI\nIIII\nV");
+            source.position(2);
+
+            try
+            {
+                column.parseFrom(source, (byte) '\n', RomanNumeralDialect.SUBTRACTIVE);
+                fail("Invalid record should throw IllegalArgumentException");
+            }
+            catch(IllegalArgumentException e)
+            {
+                assertEquals(1, column.size());
+                assertEquals(7, column.get(0));
+                assertEquals(2, source.position());
+            }
+        }
+    }
+
+    @Test
+    public void formatToShouldRoundTripAllValues()
+    {
+        try(RomanNumeralColumn column = RomanNumeralColumn.allocate(4000);
+            RomanNumeralColumn parsed = RomanNumeralColumn.allocate(4000))
+        {
+            for(int decimal = 0; decimal <= 3999; decimal++)
+                column.add(decimal);
+
+            ByteBuffer target = ByteBuffer.allocateDirect(4000 * (RomanNumeralDialect.ADDITIVE.maxLength() + 1));
+            assertEquals(4000, column.formatTo(target, 0, (byte) ',', RomanNumeralDialect.ADDITIVE));
+            target.flip();
+
+            assertEquals(4000, parsed.parseFrom(target, (byte) ',', RomanNumeralDialect.ADDITIVE));
+            for(int row = 0; row < 4000; row++)
+                assertEquals(row, parsed.get(row));
+        }
+    }
+
+    @Test
+    public void formatToShouldStopWhenTargetIsFull()
+    {
+        try(RomanNumeralColumn column = RomanNumeralColumn.allocate(2))
+        {
+            column.add(1);
+            column.add(2);
+
+            ByteBuffer target = ByteBuffer.allocate(RomanNumeralDialect.SUBTRACTIVE.maxLength() + 1);
+            assertEquals(1, column.formatTo(target, 0, (byte) '\n', RomanNumeralDialect.SUBTRACTIVE));
+            assertEquals("I\n", new String(target.array(), 0, target.position(), StandardCharsets.US_ASCII));
+        }
+    }
+
+    /*  ------------------------------------------------------------------------------------------------------------ *
+     *  Test helper methods                                                                                          *
+     *  ------------------------------------------------------------------------------------------------------------ */
+
+    private static ByteBuffer ascii(final String string)
+    {
+        byte[] bytes = string.getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+        return buffer;
+    }
+}
@@ -0,0 +1,175 @@
+import de.sebastianzander.romannumerals.RomanNumeralColumn;
+import de.sebastianzander.romannumerals.RomanNumeralDialect;
+import de.sebastianzander.romannumerals.RomanNumeralHistogram;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class RomanNumeralHistogramTest
+{
+    /*  ------------------------------------------------------------------------------------------------------------ *
+     *  Recording                                                                                                    *
+     *  ------------------------------------------------------------------------------------------------------------ */
+
+    @Test
+    public void emptyHistogramShouldCountNothing()
+    {
+        RomanNumeralHistogram histogram = new RomanNumeralHistogram();
+        assertEquals(0, histogram.totalCount());
+        assertEquals(0, histogram.invalidCount());
+        assertEquals(0, histogram.count(1));
+    }
+
+    @Test
+    public void recordedStringsShouldBeCountedByValue()
+    {
+        RomanNumeralHistogram histogram = new RomanNumeralHistogram();
+        assertTrue(histogram.record("IV"));
+        assertTrue(histogram.record("IIII", RomanNumeralDialect.CLOCK_FACE));
+        assertFalse(histogram.record("IIII"));
+        assertFalse(histogram.record("A"));
+
+        assertEquals(2, histogram.count(4));
+        assertEquals(2, histogram.totalCount());
+        assertEquals(2, histogram.invalidCount());
+    }
+
+    @Test
+    public void recordedBytesShouldBeCountedByValue()
+    {
+        RomanNumeralHistogram histogram = new RomanNumeralHistogram();
+        ByteBuffer buffer = ByteBuffer.wrap("XIV,XIIII".getBytes(StandardCharsets.US_ASCII));
+
+        assertTrue(histogram.record(buffer, 0, 3, RomanNumeralDialect.SUBTRACTIVE));
+        assertFalse(histogram.record(buffer, 4, 5, RomanNumeralDialect.SUBTRACTIVE));
+        assertEquals(1, histogram.count(14));
+        assertEquals(1, histogram.invalidCount());
+    }
+
+    @Test
+    public void recordedColumnShouldCountEveryRow()
+    {
+        RomanNumeralHistogram histogram = new RomanNumeralHistogram();
+        try(RomanNumeralColumn column = RomanNumeralColumn.allocate(3))
+        {
+            column.add(7);
+            column.add(7);
+            column.add(3999);
+            histogram.record(column);
+        }
+
+        assertEquals(2, histogram.count(7));
+        assertEquals(1, histogram.count(3999));
+    }
+
+    @Test
+    public void emptyStringsShouldBeCountedAsInvalid()
+    {
+        RomanNumeralHistogram histogram = new RomanNumeralHistogram();
+        assertFalse(histogram.record(""));
+        assertFalse(histogram.record("", RomanNumeralDialect.ADDITIVE));
+        assertFalse(histogram.record(ByteBuffer.allocate(1), 0, 0, RomanNumeralDialect.SUBTRACTIVE));
+
+        assertEquals(0, histogram.count(0));
+        assertEquals(3, histogram.invalidCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void recording4000ShouldThrowIllegalArgumentException()
+    {
+        new RomanNumeralHistogram().record(4000);
+    }
+
+    @Test
+    public void concurrentRecordingShouldNotLoseCounts()
+        throws InterruptedException
+    {
+        RomanNumeralHistogram histogram = new RomanNumeralHistogram(4);
+        Thread[] threads = new Thread[8];
+        for(int t = 0; t < threads.length; t++)
+        {
+            threads[t] = new Thread(() ->
+            {
+                for(int i = 0; i < 10000; i++)
+                    histogram.record(i % 10);
+            });
+            threads[t].start();
+        }
+
+        for(Thread thread : threads)
+            thread.join();
+
+        assertEquals(80000, histogram.totalCount());
+        assertEquals(8000, histogram.count(9));
+    }
+
+    @Test
+    public void mergedHistogramShouldHoldBothCounts()
+    {
+        RomanNumeralHistogram a = new RomanNumeralHistogram(1);
+        a.record(1);
+        a.recordInvalid();
+
+        RomanNumeralHistogram b = new RomanNumeralHistogram(2);
+        b.record(1);
+        b.record(2);
+
+        a.merge(b);
+        assertEquals(2, a.count(1));
+        assertEquals(1, a.count(2));
+        assertEquals(1, a.invalidCount());
+    }
+
+    /*  ------------------------------------------------------------------------------------------------------------ *
+     *  Queries                                                                                                      *
+     *  ------------------------------------------------------------------------------------------------------------ */
+
+    @Test
+    public void percentilesShouldReturnValuesAtCumulativeCounts()
+    {
+        RomanNumeralHistogram histogram = new RomanNumeralHistogram();
+        for(int decimal = 1; decimal <= 100; decimal++)
+            histogram.record(decimal);
+
+        assertEquals(1, histogram.percentile(0));
+        assertEquals(50, histogram.percentile(50));
+        assertEquals(99, histogram.percentile(99));
+        assertEquals(100, histogram.percentile(100));
+    }
+
+    @Test
+    public void wholePercentilesShouldNotPickUpRoundingErrors()
+    {
+        RomanNumeralHistogram histogram = new RomanNumeralHistogram();
+        for(int decimal = 1; decimal <= 100; decimal++)
+            histogram.record(decimal);
+
+        for(int percentile = 1; percentile <= 100; percentile++)
+            assertEquals(percentile, histogram.percentile(percentile));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void percentileOfEmptyHistogramShouldThrowIllegalStateException()
+    {
+        new RomanNumeralHistogram().percentile(50);
+    }
+
+    @Test
+    public void topKShouldReturnMostFrequentValues()
+    {
+        RomanNumeralHistogram histogram = new RomanNumeralHistogram();
+        histogram.record(5);
+        histogram.record(5);
+        histogram.record(5);
+        histogram.record(3999);
+        histogram.record(3999);
+        histogram.record(2);
+        histogram.record(1);
+
+        assertArrayEquals(new int[] { 5, 3999, 1 }, histogram.topK(3));
+        assertArrayEquals(new int[] { 5, 3999, 1, 2 }, histogram.topK(10));
+    }
+}
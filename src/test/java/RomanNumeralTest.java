@@ -1,4 +1,5 @@
 import de.sebastianzander.romannumerals.RomanNumeral;
+import de.sebastianzander.romannumerals.RomanNumeralDialect;
 import org.junit.Test;
 
 import java.util.Arrays;
@@ -167,6 +168,26 @@ public class RomanNumeralTest
         testDecimalToRoman(3999, "MMMCMXCIX");
     }
 
+    @Test
+    public void sameDecimalShouldReturnSharedRomanString()
+    {
+        assertSame(RomanNumeral.convertArabicDecimalToRomanNumeralString(1987),
+            RomanNumeral.convertArabicDecimalToRomanNumeralString(1987));
+    }
+
+    @Test
+    public void everyDecimalShouldMatchSubtractiveDigitForms()
+    {
+        String[] units = { "", "I", "II", "III", "IV", "V", "VI", "VII", "VIII", "IX" };
+        String[] tens = { "", "X", "XX", "XXX", "XL", "L", "LX", "LXX", "LXXX", "XC" };
+        String[] hundreds = { "", "C", "CC", "CCC", "CD", "D", "DC", "DCC", "DCCC", "CM" };
+        String[] thousands = { "", "M", "MM", "MMM" };
+
+        for(int decimal = 0; decimal <= 3999; decimal++)
+            assertEquals(thousands[decimal / 1000] + hundreds[decimal / 100 % 10] + tens[decimal / 10 % 10] +
+                units[decimal % 10], RomanNumeral.convertArabicDecimalToRomanNumeralString(decimal));
+    }
+
     /*  ------------------------------------------------------------------------------------------------------------ *
      *  Roman to Decimal conversion                                                                                  *
      *  ------------------------------------------------------------------------------------------------------------ */
@@ -234,6 +255,98 @@ public class RomanNumeralTest
         new RomanNumeral("A");
     }
 
+    @Test
+    public void romanLowercaseMcmlxxxviiShouldReturn1987()
+    {
+        testRomanToDecimal("mcmlxxxvii", 1987);
+    }
+
+    @Test
+    public void romanMedievalXviijShouldReturn18()
+    {
+        testRomanToDecimal("xviij", 18);
+    }
+
+    @Test
+    public void romanUnicodeNumeralsShouldReturnDecimal()
+    {
+        testRomanToDecimal("\u216F\u216D\u216F\u2169\u216D\u2160\u2164", 1994);
+        testRomanToDecimal("\u217F\u217D\u217F\u2179\u217D\u2170\u2174", 1994);
+    }
+
+    @Test
+    public void romanUnicodeLigaturesShouldReturnDecimal()
+    {
+        testRomanToDecimal("\u216B", 12);
+        testRomanToDecimal("\u2172", 3);
+        testRomanToDecimal("\u216F\u216D\u216F\u2169\u216D\u2163", 1994);
+        testRomanToDecimal("\u2169\u2168", 19);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void romanReversedCShouldThrowIllegalArgumentException()
+    {
+        new RomanNumeral("\u2183");
+    }
+
+    @Test
+    public void decimal1994ShouldReturnUnicodeNumerals()
+    {
+        assertEquals("\u216F\u216D\u216F\u2169\u216D\u2160\u2164",
+            RomanNumeral.convertArabicDecimalToUnicodeRomanNumeralString(1994));
+        assertEquals("\u2179\u2174\u2170\u2170\u2170",
+            RomanNumeral.convertArabicDecimalToUnicodeRomanNumeralString(18, RomanNumeralDialect.MEDIEVAL));
+    }
+
+    /*  ------------------------------------------------------------------------------------------------------------ *
+     *  Dialects                                                                                                     *
+     *  ------------------------------------------------------------------------------------------------------------ */
+
+    @Test
+    public void decimal1994ShouldReturnDialectForms()
+    {
+        assertEquals("MCMXCIV", RomanNumeralDialect.SUBTRACTIVE.format(1994));
+        assertEquals("MDCCCCLXXXXIIII", RomanNumeralDialect.ADDITIVE.format(1994));
+        assertEquals("MCMXCIIII", RomanNumeralDialect.CLOCK_FACE.format(1994));
+        assertEquals("mcmxciv", RomanNumeralDialect.MEDIEVAL.format(1994));
+    }
+
+    @Test
+    public void medievalTrailingIShouldBeWrittenAsJ()
+    {
+        assertEquals("j", RomanNumeralDialect.MEDIEVAL.format(1));
+        assertEquals("xviij", RomanNumeralDialect.MEDIEVAL.format(18));
+        assertEquals("mmx", RomanNumeralDialect.MEDIEVAL.format(2010));
+    }
+
+    @Test
+    public void everyDialectShouldParseWhatItFormats()
+    {
+        for(RomanNumeralDialect dialect : RomanNumeralDialect.values())
+            for(int decimal = 0; decimal <= 3999; decimal++)
+                assertEquals(dialect + " " + decimal, decimal, dialect.parse(dialect.format(decimal)));
+    }
+
+    @Test
+    public void dialectsShouldParseStrictly()
+    {
+        assertEquals(-1, RomanNumeralDialect.SUBTRACTIVE.tryParse("IIII"));
+        assertEquals(-1, RomanNumeralDialect.SUBTRACTIVE.tryParse("IC"));
+        assertEquals(-1, RomanNumeralDialect.SUBTRACTIVE.tryParse("MMMM"));
+        assertEquals(-1, RomanNumeralDialect.SUBTRACTIVE.tryParse("mcm"));
+        assertEquals(-1, RomanNumeralDialect.ADDITIVE.tryParse("IV"));
+        assertEquals(-1, RomanNumeralDialect.CLOCK_FACE.tryParse("XIV"));
+        assertEquals(-1, RomanNumeralDialect.MEDIEVAL.tryParse("iii"));
+        assertEquals(-1, RomanNumeralDialect.MEDIEVAL.tryParse("XVI"));
+        assertEquals(14, RomanNumeralDialect.CLOCK_FACE.tryParse("XIIII"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void romanIIIIInSubtractiveDialectShouldThrowIllegalArgumentException()
+    {
+        new RomanNumeral("IIII", RomanNumeralDialect.SUBTRACTIVE);
+    }
+
     /*  ------------------------------------------------------------------------------------------------------------ *
      *  Arithmetic                                                                                                   *
      *  ------------------------------------------------------------------------------------------------------------ */
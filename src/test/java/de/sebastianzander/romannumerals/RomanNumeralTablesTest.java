@@ -0,0 +1,49 @@
+package de.sebastianzander.romannumerals;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class RomanNumeralTablesTest
+{
+    @Test
+    public void generatedStringsShouldMatchDigitTables()
+    {
+        for(int value = 0; value < RomanNumeralTables.COUNT; value++)
+            assertEquals(RomanNumeralDialect.SUBTRACTIVE.formatDigits(value), RomanNumeralTables.string(value));
+    }
+
+    @Test
+    public void generatedEncodingsShouldMatchDigitTables()
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        for(int value = 0; value < RomanNumeralTables.COUNT; value++)
+        {
+            int length = RomanNumeralTables.put(value, buffer, 0);
+            assertEquals(RomanNumeralDialect.SUBTRACTIVE.formatDigits(value),
+                new String(buffer.array(), 0, length, StandardCharsets.US_ASCII));
+        }
+    }
+
+    @Test
+    public void generatedParseIndexShouldBeSortedPermutationOfAllValues()
+    {
+        boolean[] seen = new boolean[RomanNumeralTables.COUNT];
+        String previous = null;
+
+        for(int position = 0; position < RomanNumeralTables.COUNT; position++)
+        {
+            int value = RomanNumeralTables.parseIndex(position);
+            assertFalse("Value " + value + " should occur only once", seen[value]);
+            seen[value] = true;
+
+            String string = RomanNumeralDialect.SUBTRACTIVE.formatDigits(value);
+            if(previous != null)
+                assertTrue(previous + " should sort before " + string, previous.compareTo(string) < 0);
+            previous = string;
+        }
+    }
+}